@@ -15,4 +15,8 @@ final class HashUtils {
         final BasicFileAttributes attributes = Files.readAttributes(Paths.get(filePath), BasicFileAttributes.class);
         return DigestUtils.md5Hex(attributes.lastModifiedTime() + "__" + attributes.size());
     }
+
+    static String getShortHash(final String value) {
+        return DigestUtils.md5Hex(value).substring(0, 8);
+    }
 }
@@ -0,0 +1,108 @@
+package de.unibi.agbi.biodwh2.sql.exporter;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from node ids to in and out degrees backed by primitive arrays, so that degrees of millions
+ * of nodes can be counted without boxing.
+ */
+final class NodeDegreeCounter {
+    interface Visitor {
+        void visit(final long nodeId, final int labelIndex, final int inDegree, final int outDegree) throws IOException;
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    static final int INITIAL_CAPACITY = 1024;
+
+    private long[] nodeIds;
+    private int[] labelIndices;
+    private int[] inDegrees;
+    private int[] outDegrees;
+    private int size;
+
+    NodeDegreeCounter() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(final int capacity) {
+        nodeIds = new long[capacity];
+        Arrays.fill(nodeIds, EMPTY);
+        labelIndices = new int[capacity];
+        inDegrees = new int[capacity];
+        outDegrees = new int[capacity];
+    }
+
+    public void addOutgoing(final long nodeId, final int labelIndex) {
+        // The slot needs to be resolved first, as growing replaces the degree arrays
+        final int slot = getOrAddSlot(nodeId, labelIndex);
+        outDegrees[slot]++;
+    }
+
+    public void addIncoming(final long nodeId, final int labelIndex) {
+        final int slot = getOrAddSlot(nodeId, labelIndex);
+        inDegrees[slot]++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int getOrAddSlot(final long nodeId, final int labelIndex) {
+        if ((size + 1) * 4L > nodeIds.length * 3L)
+            grow();
+        final int slot = findSlot(nodeId);
+        if (nodeIds[slot] == EMPTY) {
+            nodeIds[slot] = nodeId;
+            labelIndices[slot] = labelIndex;
+            size++;
+        }
+        return slot;
+    }
+
+    private int findSlot(final long nodeId) {
+        final int mask = nodeIds.length - 1;
+        int slot = hash(nodeId) & mask;
+        while (nodeIds[slot] != EMPTY && nodeIds[slot] != nodeId)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private static int hash(final long value) {
+        final long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void grow() {
+        final long[] oldNodeIds = nodeIds;
+        final int[] oldLabelIndices = labelIndices;
+        final int[] oldInDegrees = inDegrees;
+        final int[] oldOutDegrees = outDegrees;
+        allocate(oldNodeIds.length * 2);
+        for (int i = 0; i < oldNodeIds.length; i++) {
+            if (oldNodeIds[i] != EMPTY) {
+                final int slot = findSlot(oldNodeIds[i]);
+                nodeIds[slot] = oldNodeIds[i];
+                labelIndices[slot] = oldLabelIndices[i];
+                inDegrees[slot] = oldInDegrees[i];
+                outDegrees[slot] = oldOutDegrees[i];
+            }
+        }
+    }
+
+    /**
+     * Visits all counted nodes ordered by node id.
+     */
+    public void forEach(final Visitor visitor) throws IOException {
+        final long[] sortedNodeIds = new long[size];
+        int index = 0;
+        for (final long nodeId : nodeIds)
+            if (nodeId != EMPTY)
+                sortedNodeIds[index++] = nodeId;
+        Arrays.sort(sortedNodeIds);
+        for (final long nodeId : sortedNodeIds) {
+            final int slot = findSlot(nodeId);
+            visitor.visit(nodeId, labelIndices[slot], inDegrees[slot], outDegrees[slot]);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package de.unibi.agbi.biodwh2.sql.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Buffers the data of each partition of a table in a temporary file, so the partitions can be written as contiguous
+ * blocks while the graph is only iterated once.
+ */
+final class PartitionDataBuffer implements AutoCloseable {
+    private final Path temporaryPath;
+    private final Path[] paths;
+    private final BufferedWriter[] writers;
+
+    PartitionDataBuffer(final int count, final Path temporaryPath) {
+        this.temporaryPath = temporaryPath;
+        paths = new Path[count];
+        writers = new BufferedWriter[count];
+    }
+
+    public int getCount() {
+        return writers.length;
+    }
+
+    public BufferedWriter getWriter(final int partition) throws IOException {
+        if (writers[partition] == null) {
+            paths[partition] = temporaryPath == null ? Files.createTempFile("biodwh2-sql-partition", ".sql") :
+                               Files.createTempFile(temporaryPath, "biodwh2-sql-partition", ".sql");
+            writers[partition] = Files.newBufferedWriter(paths[partition], StandardCharsets.UTF_8);
+        }
+        return writers[partition];
+    }
+
+    public boolean hasData(final int partition) {
+        return writers[partition] != null;
+    }
+
+    public void transferTo(final int partition, final Writer target) throws IOException {
+        if (writers[partition] == null)
+            return;
+        writers[partition].flush();
+        try (final Reader reader = Files.newBufferedReader(paths[partition], StandardCharsets.UTF_8)) {
+            reader.transferTo(target);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (int i = 0; i < writers.length; i++) {
+            if (writers[i] != null) {
+                writers[i].close();
+                Files.deleteIfExists(paths[i]);
+            }
+        }
+    }
+}
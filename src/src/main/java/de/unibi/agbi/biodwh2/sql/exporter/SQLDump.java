@@ -12,17 +12,28 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 final class SQLDump {
     private static final Logger LOGGER = LogManager.getLogger(SQLExporter.class);
+    private static final String NODE_DEGREE_TABLE_NAME = "__node_degree";
+    private static final String EDGE_SUMMARY_TABLE_NAME = "__edge_summary";
+    private static final String HASH_FUNCTION_NAME = "__id_hash";
+    private static final String HASH_OPERATOR_CLASS_NAME = "__id_hash_ops";
 
     private int insertBatchSize = 100;
     private String schemaName = "biodwh2";
     private final BufferedWriter writer;
     private final Graph graph;
     private Target target = Target.DEFAULT;
+    private Map<String, List<String>> fullTextIndices = new HashMap<>();
+    private final Map<String, List<String>> fullTextProperties = new HashMap<>();
+    private final List<String> deferredIndexStatements = new ArrayList<>();
+    private Path temporaryPath;
+    private boolean summaryTables;
 
     public SQLDump(final BufferedWriter writer, final Graph graph) {
         this.writer = writer;
@@ -41,6 +52,19 @@ final class SQLDump {
         this.target = target;
     }
 
+    public void setTemporaryPath(final Path temporaryPath) {
+        this.temporaryPath = temporaryPath;
+    }
+
+    public void setSummaryTables(final boolean summaryTables) {
+        this.summaryTables = summaryTables;
+    }
+
+    public void setFullTextIndices(final Map<String, List<String>> fullTextIndices) {
+        this.fullTextIndices = fullTextIndices == null ? new HashMap<>() : fullTextIndices;
+        fullTextProperties.clear();
+    }
+
     private String escapeIdentifier(final String identifier) {
         if (StringUtils.isBlank(identifier))
             return "";
@@ -57,6 +81,7 @@ final class SQLDump {
         writeDisableForeignKeys();
         writeSchema(tableNameProvider);
         writeData(tableNameProvider);
+        writeDeferredIndices();
         writeEnableForeignKeys();
     }
 
@@ -99,12 +124,41 @@ final class SQLDump {
                 writeLine("USE " + escapeIdentifier(schemaName) + ";");
         }
         writer.newLine();
+        writeHashOperatorClass(tableNameProvider);
         writeNodeTables(tableNameProvider);
         writeEdgeTables(tableNameProvider);
+        if (summaryTables)
+            writeSummaryTables();
     }
 
     private void writeLine(final String line) throws IOException {
-        writer.write(line);
+        writeLine(writer, line);
+    }
+
+    private void writeLine(final BufferedWriter target, final String line) throws IOException {
+        target.write(line);
+        target.newLine();
+    }
+
+    /**
+     * Indices of partitioned tables are created after all data is loaded, so partitions can be loaded without index
+     * maintenance.
+     */
+    private void writeIndexStatement(final String statement, final TablePartitioning partitioning) throws IOException {
+        if (partitioning == null)
+            writeLine(statement);
+        else
+            deferredIndexStatements.add(statement);
+    }
+
+    private void writeDeferredIndices() throws IOException {
+        if (deferredIndexStatements.isEmpty())
+            return;
+        writeLine("-- -----------------------------------------------------");
+        writeLine("-- Indices of partitioned tables");
+        writeLine("-- -----------------------------------------------------");
+        for (final String statement : deferredIndexStatements)
+            writeLine(statement);
         writer.newLine();
     }
 
@@ -116,38 +170,136 @@ final class SQLDump {
         for (final String label : graph.getNodeLabels()) {
             final String tableLabel = tableNameProvider.getNodeTableName(label);
             final String labelFQDN = getFQDN(tableLabel);
-            writeLine("DROP TABLE IF EXISTS " + labelFQDN + ";");
+            final TablePartitioning partitioning = tableNameProvider.getNodeTablePartitioning(label);
+            writeDropTable(tableNameProvider, tableLabel, partitioning);
+            writePartitionScheme(tableNameProvider, tableLabel, partitioning);
             writeLine("CREATE TABLE IF NOT EXISTS " + labelFQDN + " (");
-            for (final Map.Entry<String, Type> entry : graph.getPropertyKeyTypesForNodeLabel(label).entrySet()) {
-                if ("__label".equals(entry.getKey()))
-                    continue;
-                final boolean isIndexed = isIndexedProperty(label, IndexDescription.Target.NODE, entry.getKey());
-                final String sqlDataType = getSQLType(entry.getKey(), entry.getValue(), isIndexed);
-                writeLine("  " + escapeIdentifier(entry.getKey()) + " " + sqlDataType + " " +
-                          getSQLTypeAttributes(entry.getKey()) + ",");
-            }
-            writeLine("  PRIMARY KEY (" + escapeIdentifier("__id") + ")");
-            writeLine(");");
-            for (final IndexDescription index : graph.indexDescriptions())
-                if (index.getTarget() == IndexDescription.Target.NODE && index.getLabel().equals(label)) {
-                    // MySQL does not support JSON array indices, so they are skipped
-                    if (index.isArrayProperty() && target == Target.MySQL)
-                        continue;
-                    final String indexType = index.getType() == IndexDescription.Type.UNIQUE ? "UNIQUE " : "";
-                    final String indexName = "index_n" + nodeTableIndex +
-                                             (index.getType() == IndexDescription.Type.UNIQUE ? "_UNIQUE" : "");
-                    nodeTableIndex++;
-                    writeLine(
-                            "CREATE " + indexType + "INDEX " + escapeIdentifier(indexName) + " ON " + labelFQDN + "(" +
-                            escapeIdentifier(index.getProperty()) + " ASC);");
-                }
-            writeLine("CREATE UNIQUE INDEX " + escapeIdentifier("index_n" + nodeTableIndex + "_UNIQUE") + " ON " +
-                      labelFQDN + "(" + escapeIdentifier("__id") + " ASC);");
+            writePropertyColumns(label, IndexDescription.Target.NODE, graph.getPropertyKeyTypesForNodeLabel(label));
+            if (target == Target.Postgresql)
+                writeFullTextColumns(label);
+            writeLine("  PRIMARY KEY (" + getPrimaryKeyColumns(partitioning) + ")");
+            writeLine(")" + getPartitionClause(tableNameProvider, tableLabel, partitioning) + ";");
+            writePartitionTables(tableNameProvider, tableLabel, partitioning);
+            nodeTableIndex = writePropertyIndices(label, IndexDescription.Target.NODE, "index_n", tableLabel,
+                                                  partitioning, nodeTableIndex);
+            writeIndex("index_n" + nodeTableIndex + "_UNIQUE", true, tableLabel, "__id", partitioning);
             nodeTableIndex++;
+            nodeTableIndex = writeFullTextIndices(label, tableLabel, partitioning, nodeTableIndex);
             writer.newLine();
         }
     }
 
+    private List<String> getFullTextProperties(final String label) {
+        return fullTextProperties.computeIfAbsent(label, this::resolveFullTextProperties);
+    }
+
+    private List<String> resolveFullTextProperties(final String label) {
+        final List<String> properties = fullTextIndices.get(label);
+        if (properties == null)
+            return Collections.emptyList();
+        if (target == Target.MSSQL) {
+            if (LOGGER.isWarnEnabled())
+                LOGGER.warn("Full-text indices are not supported for target {} and will be ignored", target);
+            return Collections.emptyList();
+        }
+        final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForNodeLabel(label);
+        final List<String> result = new ArrayList<>();
+        for (final String property : properties) {
+            final Type type = propertyKeyTypes.get(property);
+            if (type == null || !isStringType(type)) {
+                if (LOGGER.isWarnEnabled())
+                    LOGGER.warn("Skipping full-text index for property '{}' of label '{}' as it is not a string " +
+                                "property", property, label);
+            } else if (type.isList() && target == Target.MySQL) {
+                // String lists are stored as JSON which MySQL cannot include in full-text indices
+                if (LOGGER.isWarnEnabled())
+                    LOGGER.warn("Skipping full-text index for list property '{}' of label '{}' as target {} does " +
+                                "not support full-text indices on JSON columns", property, label, target);
+            } else
+                result.add(property);
+        }
+        return result;
+    }
+
+    /**
+     * String list properties are stored as JSON, for which PostgreSQL only includes the string values in the tsvector.
+     */
+    private void writeFullTextColumns(final String label) throws IOException {
+        final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForNodeLabel(label);
+        for (final String property : getFullTextProperties(label)) {
+            final String source = propertyKeyTypes.get(property).isList() ? escapeIdentifier(property) :
+                                  "COALESCE(" + escapeIdentifier(property) + ", '')";
+            writeLine("  " + escapeIdentifier(property + "__tsv") + " tsvector GENERATED ALWAYS AS (to_tsvector(" +
+                      "'simple', " + source + ")) STORED,");
+        }
+    }
+
+    private boolean isStringType(final Type type) {
+        final Class<?> valueType = type.isList() ? type.getComponentType() : type.getType();
+        return valueType != null && CharSequence.class.isAssignableFrom(valueType);
+    }
+
+    private int writeFullTextIndices(final String label, final String tableName, final TablePartitioning partitioning,
+                                     int nodeTableIndex) throws IOException {
+        final List<String> properties = getFullTextProperties(label);
+        if (properties.isEmpty())
+            return nodeTableIndex;
+        if (target == Target.Sqlite) {
+            // External content FTS5 table which is filled alongside the node table
+            final String ftsTableFQDN = getFQDN(tableName + "__fts");
+            final String columns = properties.stream().map(this::escapeIdentifier).collect(Collectors.joining(", "));
+            writeLine("DROP TABLE IF EXISTS " + ftsTableFQDN + ";");
+            writeLine("CREATE VIRTUAL TABLE " + ftsTableFQDN + " USING fts5(" + columns + ", content=" +
+                      formatProperty(String.class, tableName, "'") + ", content_rowid='__id');");
+            return nodeTableIndex;
+        }
+        // MySQL and MariaDB do not support full-text indices for partitioned tables
+        if (partitioning != null && target != Target.Postgresql) {
+            if (LOGGER.isWarnEnabled())
+                LOGGER.warn("Skipping full-text indices of partitioned table '{}' for target {}", tableName, target);
+            return nodeTableIndex;
+        }
+        for (final String property : properties) {
+            final String indexName = escapeIdentifier("index_n" + nodeTableIndex + "_FULLTEXT");
+            nodeTableIndex++;
+            if (target == Target.Postgresql)
+                writeIndexStatement("CREATE INDEX " + indexName + " ON " + getFQDN(tableName) + " USING GIN (" +
+                                    escapeIdentifier(property + "__tsv") + ");", partitioning);
+            else
+                writeLine("CREATE FULLTEXT INDEX " + indexName + " ON " + getFQDN(tableName) + "(" +
+                          escapeIdentifier(property) + ");");
+        }
+        return nodeTableIndex;
+    }
+
+    private void writePropertyColumns(final String label, final IndexDescription.Target indexTarget,
+                                      final Map<String, Type> propertyKeyTypes) throws IOException {
+        for (final Map.Entry<String, Type> entry : propertyKeyTypes.entrySet()) {
+            if ("__label".equals(entry.getKey()))
+                continue;
+            final boolean isIndexed = isIndexedProperty(label, indexTarget, entry.getKey());
+            final String sqlDataType = getSQLType(entry.getKey(), entry.getValue(), isIndexed);
+            writeLine("  " + escapeIdentifier(entry.getKey()) + " " + sqlDataType + " " +
+                      getSQLTypeAttributes(entry.getKey()) + ",");
+        }
+    }
+
+    private int writePropertyIndices(final String label, final IndexDescription.Target indexTarget,
+                                     final String indexPrefix, final String tableName,
+                                     final TablePartitioning partitioning, int indexCounter) throws IOException {
+        for (final IndexDescription index : graph.indexDescriptions())
+            if (index.getTarget() == indexTarget && index.getLabel().equals(label)) {
+                // MySQL does not support JSON array indices, so they are skipped
+                if (index.isArrayProperty() && target == Target.MySQL)
+                    continue;
+                final boolean isUnique = index.getType() == IndexDescription.Type.UNIQUE;
+                writeIndex(indexPrefix + indexCounter + (isUnique ? "_UNIQUE" : ""), isUnique, tableName,
+                           index.getProperty(), partitioning);
+                indexCounter++;
+            }
+        return indexCounter;
+    }
+
     private boolean isIndexedProperty(final String label, final IndexDescription.Target target,
                                       final String propertyKey) {
         for (final IndexDescription index : graph.indexDescriptions())
@@ -163,6 +315,157 @@ final class SQLDump {
         return getSchemaPrefix() + escapeIdentifier(identifier);
     }
 
+    /**
+     * Primary keys of partitioned tables need to include the partition column. For edge tables partitioned by
+     * "__from_id", the primary key therefore only enforces the uniqueness of the ("__id", "__from_id") pair.
+     */
+    private String getPrimaryKeyColumns(final TablePartitioning partitioning) {
+        if (partitioning == null || "__id".equals(partitioning.getColumn()))
+            return escapeIdentifier("__id");
+        return escapeIdentifier("__id") + ", " + escapeIdentifier(partitioning.getColumn());
+    }
+
+    /**
+     * PostgreSQL, MySQL, and MariaDB require unique indices of partitioned tables to contain the partition column,
+     * which would render them ineffective. These are created as regular indices instead. MSSQL allows them as
+     * non-aligned indices, which are stored outside the partition scheme.
+     */
+    private void writeIndex(final String indexName, final boolean isUnique, final String tableName,
+                            final String property, final TablePartitioning partitioning) throws IOException {
+        final String columns = "(" + escapeIdentifier(property) + " ASC)";
+        if (!isUnique || partitioning == null || property.equals(partitioning.getColumn())) {
+            writeIndexStatement("CREATE " + (isUnique ? "UNIQUE " : "") + "INDEX " + escapeIdentifier(indexName) +
+                                " ON " + getFQDN(tableName) + columns + ";", partitioning);
+        } else if (target == Target.MSSQL) {
+            writeIndexStatement("CREATE UNIQUE INDEX " + escapeIdentifier(indexName) + " ON " + getFQDN(tableName) +
+                                columns + " ON [PRIMARY];", partitioning);
+        } else {
+            if (LOGGER.isWarnEnabled())
+                LOGGER.warn("Uniqueness of property '{}' of partitioned table '{}' is not enforced as target {} " +
+                            "requires unique indices to contain the partition column", property, tableName, target);
+            final String regularIndexName = StringUtils.removeEnd(indexName, "_UNIQUE");
+            writeIndexStatement("CREATE INDEX " + escapeIdentifier(regularIndexName) + " ON " + getFQDN(tableName) +
+                                columns + ";", partitioning);
+        }
+    }
+
+    /**
+     * Edge tables and consolidated edge views share names, so both kinds are dropped.
+     */
+    private void writeDropTableAndView(final String tableName) throws IOException {
+        final String tableNameFQDN = getFQDN(tableName);
+        if (target == Target.Postgresql) {
+            writeLine("DO $$ BEGIN IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass(" +
+                      formatProperty(String.class, tableNameFQDN, "'") + ") AND relkind = 'v') THEN DROP VIEW " +
+                      tableNameFQDN + "; END IF; END $$;");
+            writeLine("DROP TABLE IF EXISTS " + tableNameFQDN + ";");
+        } else if (target == Target.MSSQL) {
+            final String objectName = StringUtils.isBlank(schemaName) ? tableName : schemaName + '.' + tableName;
+            writeLine("IF OBJECT_ID(" + formatProperty(String.class, objectName, "'") +
+                      ", 'V') IS NOT NULL DROP VIEW " + tableNameFQDN + ";");
+            writeLine("DROP TABLE IF EXISTS " + tableNameFQDN + ";");
+        } else {
+            writeLine("DROP TABLE IF EXISTS " + tableNameFQDN + ";");
+            writeLine("DROP VIEW IF EXISTS " + tableNameFQDN + ";");
+        }
+    }
+
+    private void writeDropTable(final TableNameProvider tableNameProvider, final String tableName,
+                                final TablePartitioning partitioning) throws IOException {
+        writeLine("DROP TABLE IF EXISTS " + getFQDN(tableName) + ";");
+        writeDropPartitionScheme(tableNameProvider, tableName, partitioning);
+    }
+
+    private void writeDropPartitionScheme(final TableNameProvider tableNameProvider, final String tableName,
+                                          final TablePartitioning partitioning) throws IOException {
+        if (partitioning != null && target == Target.MSSQL) {
+            final String schemeName = tableNameProvider.getDerivedName(tableName, "__ps");
+            final String functionName = tableNameProvider.getDerivedName(tableName, "__pf");
+            writeLine("IF EXISTS (SELECT 1 FROM sys.partition_schemes WHERE name = '" + schemeName +
+                      "') DROP PARTITION SCHEME " + escapeIdentifier(schemeName) + ";");
+            writeLine("IF EXISTS (SELECT 1 FROM sys.partition_functions WHERE name = '" + functionName +
+                      "') DROP PARTITION FUNCTION " + escapeIdentifier(functionName) + ";");
+        }
+    }
+
+    private void writePartitionScheme(final TableNameProvider tableNameProvider, final String tableName,
+                                      final TablePartitioning partitioning) throws IOException {
+        if (partitioning == null || target != Target.MSSQL)
+            return;
+        final StringJoiner boundaries = new StringJoiner(", ");
+        for (final long boundary : partitioning.getBoundaries())
+            boundaries.add(String.valueOf(boundary));
+        final String functionName = escapeIdentifier(tableNameProvider.getDerivedName(tableName, "__pf"));
+        writeLine("CREATE PARTITION FUNCTION " + functionName + " (BIGINT) AS RANGE RIGHT FOR VALUES (" + boundaries +
+                  ");");
+        writeLine("CREATE PARTITION SCHEME " + escapeIdentifier(tableNameProvider.getDerivedName(tableName, "__ps")) +
+                  " AS PARTITION " + functionName + " ALL TO ([PRIMARY]);");
+    }
+
+    /**
+     * PostgreSQL hashes the partition key with a seeded hash function. An identity hash operator class keeps the
+     * partition of each id predictable, so inserts can be routed into the partition tables directly.
+     */
+    private void writeHashOperatorClass(final TableNameProvider tableNameProvider) throws IOException {
+        if (target != Target.Postgresql || !tableNameProvider.hasPartitionings())
+            return;
+        final String functionFQDN = getFQDN(HASH_FUNCTION_NAME);
+        writeLine("CREATE OR REPLACE FUNCTION " + functionFQDN + "(BIGINT, BIGINT) RETURNS BIGINT AS 'SELECT $1' " +
+                  "LANGUAGE SQL IMMUTABLE STRICT PARALLEL SAFE;");
+        writeLine("DO $$ BEGIN IF NOT EXISTS (SELECT 1 FROM pg_opclass WHERE opcname = '" +
+                  HASH_OPERATOR_CLASS_NAME + "') THEN CREATE OPERATOR CLASS " + getFQDN(HASH_OPERATOR_CLASS_NAME) +
+                  " FOR TYPE BIGINT USING hash AS OPERATOR 1 =, FUNCTION 2 " + functionFQDN +
+                  "(BIGINT, BIGINT); END IF; END $$;");
+        writer.newLine();
+    }
+
+    private String getPartitionClause(final TableNameProvider tableNameProvider, final String tableName,
+                                      final TablePartitioning partitioning) {
+        if (partitioning == null)
+            return "";
+        final String column = escapeIdentifier(partitioning.getColumn());
+        if (target == Target.Postgresql)
+            return " PARTITION BY HASH (" + column + " " + getFQDN(HASH_OPERATOR_CLASS_NAME) + ")";
+        if (target == Target.MSSQL)
+            return " ON " + escapeIdentifier(tableNameProvider.getDerivedName(tableName, "__ps")) + "(" + column + ")";
+        return " PARTITION BY HASH (" + column + ") PARTITIONS " + partitioning.getCount();
+    }
+
+    private void writePartitionTables(final TableNameProvider tableNameProvider, final String tableName,
+                                      final TablePartitioning partitioning) throws IOException {
+        if (partitioning == null || target != Target.Postgresql)
+            return;
+        for (int i = 0; i < partitioning.getCount(); i++)
+            writeLine("CREATE TABLE IF NOT EXISTS " + getFQDN(tableNameProvider.getDerivedName(tableName, "__p" + i)) +
+                      " PARTITION OF " + getFQDN(tableName) + " FOR VALUES WITH (MODULUS " + partitioning.getCount() +
+                      ", REMAINDER " + i + ");");
+    }
+
+    /**
+     * Routes inserts directly into the target partition where the DBMS allows it, so partitions can be loaded
+     * independently of each other.
+     */
+    private String getInsertTarget(final TableNameProvider tableNameProvider, final String tableName,
+                                   final TablePartitioning partitioning, final int partition) {
+        if (partitioning == null)
+            return getFQDN(tableName);
+        if (target == Target.Postgresql)
+            return getFQDN(tableNameProvider.getDerivedName(tableName, "__p" + partition));
+        if (target == Target.MySQL || target == Target.MariaDB)
+            return getFQDN(tableName) + " PARTITION (" + escapeIdentifier("p" + partition) + ")";
+        return getFQDN(tableName);
+    }
+
+    /**
+     * MySQL and MariaDB do not support foreign keys for partitioned tables, neither referencing nor referenced.
+     */
+    private boolean supportsForeignKeys(final TablePartitioning partitioning,
+                                        final TablePartitioning referencedPartitioning) {
+        if (target != Target.MySQL && target != Target.MariaDB)
+            return true;
+        return partitioning == null && referencedPartitioning == null;
+    }
+
     /**
      * https://dev.mysql.com/doc/refman/8.0/en/data-types.html
      */
@@ -208,62 +511,137 @@ final class SQLDump {
         for (final String label : graph.getEdgeLabels()) {
             final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForEdgeLabel(label);
             final Map<String, Set<String>> fromToLabelsMap = tableNameProvider.getEdgeLabelNodeLabelsMap(label);
+            final List<String[]> consolidatedFromToLabels = new ArrayList<>();
             for (final String fromLabel : fromToLabelsMap.keySet()) {
                 for (final String toLabel : fromToLabelsMap.get(fromLabel)) {
-                    edgeTableIndexCounter = writeEdgeTable(tableNameProvider, label, fromLabel, toLabel,
-                                                           propertyKeyTypes, edgeTableIndexCounter);
+                    if (tableNameProvider.isEdgeTableConsolidated(label, fromLabel, toLabel))
+                        consolidatedFromToLabels.add(new String[]{fromLabel, toLabel});
+                    else
+                        edgeTableIndexCounter = writeEdgeTable(tableNameProvider, label, fromLabel, toLabel,
+                                                               propertyKeyTypes, edgeTableIndexCounter);
                 }
             }
+            if (!consolidatedFromToLabels.isEmpty())
+                edgeTableIndexCounter = writeConsolidatedEdgeTable(tableNameProvider, label, consolidatedFromToLabels,
+                                                                   propertyKeyTypes, edgeTableIndexCounter);
         }
         writer.newLine();
     }
 
-    private int writeEdgeTable(final TableNameProvider tableNameProvider, final String label, final String fromLabel,
-                               final String toLabel, final Map<String, Type> propertyKeyTypes,
-                               int edgeTableIndexCounter) throws IOException {
-        final String tableName = tableNameProvider.getEdgeTableName(label, fromLabel, toLabel);
+    private int writeConsolidatedEdgeTable(final TableNameProvider tableNameProvider, final String label,
+                                           final List<String[]> fromToLabels, final Map<String, Type> propertyKeyTypes,
+                                           int edgeTableIndexCounter) throws IOException {
+        final String tableName = tableNameProvider.getConsolidatedEdgeTableName(label);
         final String tableNameFQDN = getFQDN(tableName);
+        // Views of a previous export depend on the consolidated table and are dropped first
+        for (final String[] labels : fromToLabels)
+            writeDropTableAndView(tableNameProvider.getEdgeTableName(label, labels[0], labels[1]));
         writeLine("DROP TABLE IF EXISTS " + tableNameFQDN + ";");
         writeLine("CREATE TABLE IF NOT EXISTS " + tableNameFQDN + " (");
-        for (final Map.Entry<String, Type> entry : propertyKeyTypes.entrySet()) {
-            if ("__label".equals(entry.getKey()))
-                continue;
-            final boolean isIndexed = isIndexedProperty(label, IndexDescription.Target.EDGE, entry.getKey());
-            final String sqlDataType = getSQLType(entry.getKey(), entry.getValue(), isIndexed);
-            writeLine("  " + escapeIdentifier(entry.getKey()) + " " + sqlDataType + " " +
-                      getSQLTypeAttributes(entry.getKey()) + ",");
-        }
-        writeLine("  PRIMARY KEY (" + escapeIdentifier("__id") + "),");
-        writeLine("  FOREIGN KEY (" + escapeIdentifier("__from_id") + ") REFERENCES " + getFQDN(fromLabel) + "(" +
-                  escapeIdentifier("__id") + "),");
-        writeLine("  FOREIGN KEY (" + escapeIdentifier("__to_id") + ") REFERENCES " + getFQDN(toLabel) + "(" +
-                  escapeIdentifier("__id") + ")");
+        writePropertyColumns(label, IndexDescription.Target.EDGE, propertyKeyTypes);
+        writeLine("  " + escapeIdentifier("__from_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("__to_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  PRIMARY KEY (" + escapeIdentifier("__id") + ")");
         writeLine(");");
-        for (final IndexDescription index : graph.indexDescriptions())
-            if (index.getTarget() == IndexDescription.Target.EDGE && index.getLabel().equals(label)) {
-                // MySQL does not support JSON array indices, so they are skipped
-                if (index.isArrayProperty() && target == Target.MySQL)
-                    continue;
-                final String indexType = index.getType() == IndexDescription.Type.UNIQUE ? "UNIQUE " : "";
-                final String indexName = "index_e" + edgeTableIndexCounter +
-                                         (index.getType() == IndexDescription.Type.UNIQUE ? "_UNIQUE" : "");
-                edgeTableIndexCounter++;
-                writeLine(
-                        "CREATE " + indexType + "INDEX " + escapeIdentifier(indexName) + " ON " + tableNameFQDN + "(" +
-                        escapeIdentifier(index.getProperty()) + " ASC);");
-            }
+        edgeTableIndexCounter = writePropertyIndices(label, IndexDescription.Target.EDGE, "index_e", tableName, null,
+                                                     edgeTableIndexCounter);
+        writeLine("CREATE INDEX " + escapeIdentifier("index_e" + edgeTableIndexCounter) + " ON " + tableNameFQDN +
+                  "(" + escapeIdentifier("__from_label") + " ASC, " + escapeIdentifier("__to_label") + " ASC);");
+        edgeTableIndexCounter++;
         writeLine("CREATE UNIQUE INDEX " + escapeIdentifier("index_e" + edgeTableIndexCounter + "_UNIQUE") + " ON " +
                   tableNameFQDN + "(" + escapeIdentifier("__id") + " ASC);");
         edgeTableIndexCounter++;
+        // Views with the original edge table names keep existing queries working
+        final String columns = propertyKeyTypes.keySet().stream().filter(k -> !"__label".equals(k)).map(
+                this::escapeIdentifier).collect(Collectors.joining(", "));
+        for (final String[] labels : fromToLabels) {
+            final String viewNameFQDN = getFQDN(tableNameProvider.getEdgeTableName(label, labels[0], labels[1]));
+            writeLine("CREATE VIEW " + viewNameFQDN + " AS SELECT " + columns + " FROM " + tableNameFQDN +
+                      " WHERE " + escapeIdentifier("__from_label") + " = " + formatProperty(String.class, labels[0],
+                                                                                             "'") + " AND " +
+                      escapeIdentifier("__to_label") + " = " + formatProperty(String.class, labels[1], "'") + ";");
+        }
+        writer.newLine();
+        return edgeTableIndexCounter;
+    }
+
+    private int writeEdgeTable(final TableNameProvider tableNameProvider, final String label, final String fromLabel,
+                               final String toLabel, final Map<String, Type> propertyKeyTypes,
+                               int edgeTableIndexCounter) throws IOException {
+        final String tableName = tableNameProvider.getEdgeTableName(label, fromLabel, toLabel);
+        final String tableNameFQDN = getFQDN(tableName);
+        final TablePartitioning partitioning = tableNameProvider.getEdgeTablePartitioning(label, fromLabel, toLabel);
+        writeDropTableAndView(tableName);
+        writeDropPartitionScheme(tableNameProvider, tableName, partitioning);
+        writePartitionScheme(tableNameProvider, tableName, partitioning);
+        writeLine("CREATE TABLE IF NOT EXISTS " + tableNameFQDN + " (");
+        writePropertyColumns(label, IndexDescription.Target.EDGE, propertyKeyTypes);
+        final List<String> constraints = new ArrayList<>();
+        constraints.add("PRIMARY KEY (" + getPrimaryKeyColumns(partitioning) + ")");
+        if (supportsForeignKeys(partitioning, tableNameProvider.getNodeTablePartitioning(fromLabel)))
+            constraints.add("FOREIGN KEY (" + escapeIdentifier("__from_id") + ") REFERENCES " + getFQDN(fromLabel) +
+                            "(" + escapeIdentifier("__id") + ")");
+        if (supportsForeignKeys(partitioning, tableNameProvider.getNodeTablePartitioning(toLabel)))
+            constraints.add("FOREIGN KEY (" + escapeIdentifier("__to_id") + ") REFERENCES " + getFQDN(toLabel) + "(" +
+                            escapeIdentifier("__id") + ")");
+        for (int i = 0; i < constraints.size(); i++)
+            writeLine("  " + constraints.get(i) + (i < constraints.size() - 1 ? "," : ""));
+        writeLine(")" + getPartitionClause(tableNameProvider, tableName, partitioning) + ";");
+        writePartitionTables(tableNameProvider, tableName, partitioning);
+        edgeTableIndexCounter = writePropertyIndices(label, IndexDescription.Target.EDGE, "index_e", tableName,
+                                                     partitioning, edgeTableIndexCounter);
+        writeIndex("index_e" + edgeTableIndexCounter + "_UNIQUE", true, tableName, "__id", partitioning);
+        edgeTableIndexCounter++;
         writer.newLine();
         return edgeTableIndexCounter;
     }
 
+    /**
+     * Node degrees and edge counts per label combination are precomputed while exporting the edges, so they don't need
+     * to be aggregated over all edge tables in the database.
+     */
+    private void writeSummaryTables() throws IOException {
+        writeLine("-- -----------------------------------------------------");
+        writeLine("-- Summary tables");
+        writeLine("-- -----------------------------------------------------");
+        final String nodeDegreeFQDN = getFQDN(NODE_DEGREE_TABLE_NAME);
+        writeLine("DROP TABLE IF EXISTS " + nodeDegreeFQDN + ";");
+        writeLine("CREATE TABLE IF NOT EXISTS " + nodeDegreeFQDN + " (");
+        writeLine("  " + escapeIdentifier("node_id") + " BIGINT UNSIGNED NOT NULL,");
+        writeLine("  " + escapeIdentifier("node_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("edge_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("in_degree") + " BIGINT NOT NULL,");
+        writeLine("  " + escapeIdentifier("out_degree") + " BIGINT NOT NULL,");
+        writeLine("  PRIMARY KEY (" + escapeIdentifier("node_id") + ", " + escapeIdentifier("edge_label") + ")");
+        writeLine(");");
+        writeLine("CREATE INDEX " + escapeIdentifier("index_s1") + " ON " + nodeDegreeFQDN + "(" + escapeIdentifier(
+                "edge_label") + " ASC, " + escapeIdentifier("in_degree") + " ASC);");
+        writeLine("CREATE INDEX " + escapeIdentifier("index_s2") + " ON " + nodeDegreeFQDN + "(" + escapeIdentifier(
+                "edge_label") + " ASC, " + escapeIdentifier("out_degree") + " ASC);");
+        writer.newLine();
+        final String edgeSummaryFQDN = getFQDN(EDGE_SUMMARY_TABLE_NAME);
+        writeLine("DROP TABLE IF EXISTS " + edgeSummaryFQDN + ";");
+        writeLine("CREATE TABLE IF NOT EXISTS " + edgeSummaryFQDN + " (");
+        writeLine("  " + escapeIdentifier("edge_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("from_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("to_label") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("table_name") + " VARCHAR(128) NOT NULL,");
+        writeLine("  " + escapeIdentifier("edge_count") + " BIGINT NOT NULL,");
+        writeLine("  PRIMARY KEY (" + escapeIdentifier("edge_label") + ", " + escapeIdentifier("from_label") + ", " +
+                  escapeIdentifier("to_label") + ")");
+        writeLine(");");
+        writeLine("CREATE INDEX " + escapeIdentifier("index_s3") + " ON " + edgeSummaryFQDN + "(" + escapeIdentifier(
+                "from_label") + " ASC, " + escapeIdentifier("to_label") + " ASC);");
+        writer.newLine();
+    }
+
     private void writeData(final TableNameProvider tableNameProvider) throws IOException {
         if (LOGGER.isInfoEnabled())
             LOGGER.info("Exporting data...");
         writeNodeData(tableNameProvider);
         writeEdgeData(tableNameProvider);
+        if (summaryTables)
+            writeEdgeSummaryData(tableNameProvider);
     }
 
     private void writeNodeData(final TableNameProvider tableNameProvider) throws IOException {
@@ -278,37 +656,94 @@ final class SQLDump {
             writeLine("-- Node data for label " + label);
             writeLine("-- -----------------------------------------------------");
             writer.newLine();
-            final List<Node> batch = new ArrayList<>();
-            for (final Node node : graph.getNodes(label)) {
-                batch.add(node);
-                if (batch.size() == insertBatchSize) {
-                    writeNodeInsertBatch(label, tableNameProvider.getNodeTableName(label), batch);
-                    batch.clear();
+            final String tableName = tableNameProvider.getNodeTableName(label);
+            final TablePartitioning partitioning = tableNameProvider.getNodeTablePartitioning(label);
+            final Map<Integer, List<Node>> batches = new HashMap<>();
+            try (final PartitionDataBuffer buffer = partitioning == null ? null : new PartitionDataBuffer(
+                    partitioning.getCount(), temporaryPath)) {
+                for (final Node node : graph.getNodes(label)) {
+                    final int partition = partitioning == null ? 0 : partitioning.getPartition(node.getId());
+                    final List<Node> batch = batches.computeIfAbsent(partition, k -> new ArrayList<>());
+                    batch.add(node);
+                    if (batch.size() == insertBatchSize) {
+                        writeNodeInsertBatch(buffer == null ? writer : buffer.getWriter(partition), label, tableName,
+                                             getInsertTarget(tableNameProvider, tableName, partitioning, partition),
+                                             batch);
+                        batch.clear();
+                    }
                 }
-            }
-            if (!batch.isEmpty()) {
-                writeNodeInsertBatch(label, tableNameProvider.getNodeTableName(label), batch);
-                batch.clear();
+                for (final Map.Entry<Integer, List<Node>> entry : batches.entrySet()) {
+                    if (!entry.getValue().isEmpty()) {
+                        writeNodeInsertBatch(buffer == null ? writer : buffer.getWriter(entry.getKey()), label,
+                                             tableName, getInsertTarget(tableNameProvider, tableName, partitioning,
+                                                                        entry.getKey()), entry.getValue());
+                        entry.getValue().clear();
+                    }
+                }
+                if (buffer != null)
+                    writePartitionData(tableName, buffer);
             }
             writer.newLine();
         }
     }
 
-    private void writeNodeInsertBatch(final String label, final String tableLabel,
-                                      final List<Node> batch) throws IOException {
+    /**
+     * Writes the buffered data of each partition as a contiguous block, so the blocks can be split off and loaded in
+     * parallel.
+     */
+    private void writePartitionData(final String tableName, final PartitionDataBuffer buffer) throws IOException {
+        for (int i = 0; i < buffer.getCount(); i++) {
+            if (buffer.hasData(i)) {
+                writeLine("-- Data of partition " + i + " of table " + tableName);
+                buffer.transferTo(i, writer);
+            }
+        }
+    }
+
+    private void writeNodeInsertBatch(final BufferedWriter out, final String label, final String tableName,
+                                      final String insertTarget, final List<Node> batch) throws IOException {
         final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForNodeLabel(label);
         final String[] keys = propertyKeyTypes.keySet().stream().filter(k -> !"__label".equals(k)).toArray(
                 String[]::new);
         final String keysString = Arrays.stream(keys).map(this::escapeIdentifier).collect(
                 Collectors.joining(", ", "", ""));
-        writeLine("INSERT INTO " + getFQDN(tableLabel) + " (" + keysString + ") VALUES");
+        writeLine(out, "INSERT INTO " + insertTarget + " (" + keysString + ") VALUES");
         for (int i = 0; i < batch.size(); i++) {
             final Node node = batch.get(i);
             final String values = Arrays.stream(keys).map(
                     key -> formatProperty(key, propertyKeyTypes.get(key), node.get(key))).collect(
                     Collectors.joining(", "));
-            writeLine("  (" + values + ")" + (i < batch.size() - 1 ? "," : ";"));
+            writeLine(out, "  (" + values + ")" + (i < batch.size() - 1 ? "," : ";"));
         }
+        if (target == Target.Sqlite && !getFullTextProperties(label).isEmpty())
+            writeFullTextInsertBatch(out, label, tableName, batch);
+    }
+
+    private void writeFullTextInsertBatch(final BufferedWriter out, final String label, final String tableName,
+                                          final List<Node> batch) throws IOException {
+        final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForNodeLabel(label);
+        final List<String> properties = getFullTextProperties(label);
+        final String keysString = properties.stream().map(this::escapeIdentifier).collect(Collectors.joining(", "));
+        writeLine(out, "INSERT INTO " + getFQDN(tableName + "__fts") + " (rowid, " + keysString + ") VALUES");
+        for (int i = 0; i < batch.size(); i++) {
+            final Node node = batch.get(i);
+            final String values = properties.stream().map(
+                    key -> formatFullTextProperty(key, propertyKeyTypes.get(key), node.get(key))).collect(
+                    Collectors.joining(", "));
+            writeLine(out, "  (" + node.getId() + ", " + values + ")" + (i < batch.size() - 1 ? "," : ";"));
+        }
+    }
+
+    /**
+     * FTS5 only indexes text, so the values of string list properties are joined by spaces.
+     */
+    private String formatFullTextProperty(final String key, final Type type, final Object value) {
+        if (value == null || !type.isList())
+            return formatProperty(key, type, value);
+        final Stream<?> values = value instanceof Collection ? ((Collection<?>) value).stream() :
+                                 Arrays.stream((Object[]) value);
+        return formatProperty(String.class, values.filter(Objects::nonNull).map(Object::toString).collect(
+                Collectors.joining(" ")), "'");
     }
 
     private String formatProperty(final String key, final Type type, final Object value) {
@@ -353,6 +788,10 @@ final class SQLDump {
         writeLine("-- Edge data");
         writeLine("-- -----------------------------------------------------");
         writer.newLine();
+        final String[] nodeLabels = graph.getNodeLabels();
+        final Map<String, Integer> nodeLabelIndices = new HashMap<>();
+        for (int i = 0; i < nodeLabels.length; i++)
+            nodeLabelIndices.put(nodeLabels[i], i);
         for (final String label : graph.getEdgeLabels()) {
             if (LOGGER.isInfoEnabled())
                 LOGGER.info("Exporting edges with label {}...", label);
@@ -360,45 +799,175 @@ final class SQLDump {
             writeLine("-- Edge data for label " + label);
             writeLine("-- -----------------------------------------------------");
             writer.newLine();
-            final Map<String, List<Edge>> batches = new HashMap<>();
-            for (final Edge edge : graph.getEdges(label)) {
-                final String fromLabel = graph.getNode(edge.getFromId()).getLabel();
-                final String toLabel = graph.getNode(edge.getToId()).getLabel();
-                final String labelKey = fromLabel + "|" + toLabel;
-                final List<Edge> batch = batches.computeIfAbsent(labelKey, k -> new ArrayList<>());
-                batch.add(edge);
-                if (batch.size() == insertBatchSize) {
-                    writeEdgeInsertBatch(label, tableNameProvider.getEdgeTableName(label, fromLabel, toLabel), batch);
-                    batch.clear();
-                }
+            final Map<String, PartitionDataBuffer> buffers = new HashMap<>();
+            final NodeDegreeCounter degreeCounter = summaryTables ? new NodeDegreeCounter() : null;
+            try {
+                writeEdgeLabelData(tableNameProvider, label, nodeLabelIndices, buffers, degreeCounter);
+            } finally {
+                for (final PartitionDataBuffer buffer : buffers.values())
+                    buffer.close();
+            }
+            writer.newLine();
+            if (degreeCounter != null)
+                writeNodeDegreeData(label, nodeLabels, degreeCounter);
+        }
+    }
+
+    private void writeEdgeLabelData(final TableNameProvider tableNameProvider, final String label,
+                                    final Map<String, Integer> nodeLabelIndices,
+                                    final Map<String, PartitionDataBuffer> buffers,
+                                    final NodeDegreeCounter degreeCounter) throws IOException {
+        final Map<String, List<Edge>> batches = new HashMap<>();
+        for (final Edge edge : graph.getEdges(label)) {
+            final String fromLabel = graph.getNode(edge.getFromId()).getLabel();
+            final String toLabel = graph.getNode(edge.getToId()).getLabel();
+            if (degreeCounter != null) {
+                degreeCounter.addOutgoing(edge.getFromId(), nodeLabelIndices.get(fromLabel));
+                degreeCounter.addIncoming(edge.getToId(), nodeLabelIndices.get(toLabel));
+            }
+            final TablePartitioning partitioning = tableNameProvider.getEdgeTablePartitioning(label, fromLabel,
+                                                                                              toLabel);
+            final int partition = partitioning == null ? 0 : partitioning.getPartition(edge.getFromId());
+            final String labelKey = fromLabel + "|" + toLabel + "|" + partition;
+            final List<Edge> batch = batches.computeIfAbsent(labelKey, k -> new ArrayList<>());
+            batch.add(edge);
+            if (batch.size() == insertBatchSize) {
+                writeEdgeInsertBatch(getEdgeOutput(tableNameProvider, buffers, label, fromLabel, toLabel, partition),
+                                     tableNameProvider, label, fromLabel, toLabel, partition, batch);
+                batch.clear();
+            }
+        }
+        for (final String labelKey : batches.keySet()) {
+            final List<Edge> batch = batches.get(labelKey);
+            if (!batch.isEmpty()) {
+                final String[] labelParts = StringUtils.split(labelKey, "|", 3);
+                final int partition = Integer.parseInt(labelParts[2]);
+                writeEdgeInsertBatch(getEdgeOutput(tableNameProvider, buffers, label, labelParts[0], labelParts[1],
+                                                   partition), tableNameProvider, label, labelParts[0],
+                                     labelParts[1], partition, batch);
+                batch.clear();
             }
-            for (final String labelKey : batches.keySet()) {
-                final List<Edge> batch = batches.get(labelKey);
-                if (!batch.isEmpty()) {
-                    final String[] labelParts = StringUtils.split(labelKey, "|", 2);
-                    writeEdgeInsertBatch(label, tableNameProvider.getEdgeTableName(label, labelParts[0], labelParts[1]),
-                                         batch);
-                    batch.clear();
+        }
+        for (final Map.Entry<String, PartitionDataBuffer> entry : buffers.entrySet()) {
+            final String[] labelParts = StringUtils.split(entry.getKey(), "|", 2);
+            writePartitionData(tableNameProvider.getEdgeTableName(label, labelParts[0], labelParts[1]),
+                               entry.getValue());
+        }
+    }
+
+    private BufferedWriter getEdgeOutput(final TableNameProvider tableNameProvider,
+                                         final Map<String, PartitionDataBuffer> buffers, final String label,
+                                         final String fromLabel, final String toLabel,
+                                         final int partition) throws IOException {
+        final TablePartitioning partitioning = tableNameProvider.getEdgeTablePartitioning(label, fromLabel, toLabel);
+        if (partitioning == null)
+            return writer;
+        return buffers.computeIfAbsent(fromLabel + "|" + toLabel, k -> new PartitionDataBuffer(
+                partitioning.getCount(), temporaryPath)).getWriter(partition);
+    }
+
+    private void writeNodeDegreeData(final String label, final String[] nodeLabels,
+                                     final NodeDegreeCounter degreeCounter) throws IOException {
+        if (degreeCounter.size() == 0)
+            return;
+        writeLine("-- -----------------------------------------------------");
+        writeLine("-- Node degree data for edge label " + label);
+        writeLine("-- -----------------------------------------------------");
+        writer.newLine();
+        final String edgeLabelValue = formatProperty(String.class, label, "'");
+        final String[] formattedNodeLabels = Arrays.stream(nodeLabels).map(l -> formatProperty(String.class, l, "'"))
+                                                   .toArray(String[]::new);
+        final List<String> batch = new ArrayList<>();
+        degreeCounter.forEach((nodeId, labelIndex, inDegree, outDegree) -> {
+            batch.add(nodeId + ", " + formattedNodeLabels[labelIndex] + ", " + edgeLabelValue + ", " + inDegree + ", " +
+                      outDegree);
+            if (batch.size() == insertBatchSize) {
+                writeNodeDegreeInsertBatch(batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty())
+            writeNodeDegreeInsertBatch(batch);
+        writer.newLine();
+    }
+
+    private void writeNodeDegreeInsertBatch(final List<String> batch) throws IOException {
+        writeSummaryInsertBatch(NODE_DEGREE_TABLE_NAME,
+                                new String[]{"node_id", "node_label", "edge_label", "in_degree", "out_degree"}, batch);
+    }
+
+    private void writeSummaryInsertBatch(final String tableName, final String[] keys,
+                                         final List<String> batch) throws IOException {
+        final String keysString = Arrays.stream(keys).map(this::escapeIdentifier).collect(Collectors.joining(", "));
+        writeLine("INSERT INTO " + getFQDN(tableName) + " (" + keysString + ") VALUES");
+        for (int i = 0; i < batch.size(); i++)
+            writeLine("  (" + batch.get(i) + ")" + (i < batch.size() - 1 ? "," : ";"));
+    }
+
+    private void writeEdgeSummaryData(final TableNameProvider tableNameProvider) throws IOException {
+        writeLine("-- -----------------------------------------------------");
+        writeLine("-- Edge summary data");
+        writeLine("-- -----------------------------------------------------");
+        writer.newLine();
+        final String[] keys = new String[]{"edge_label", "from_label", "to_label", "table_name", "edge_count"};
+        final List<String> batch = new ArrayList<>();
+        for (final String label : graph.getEdgeLabels()) {
+            final Map<String, Set<String>> fromToLabelsMap = tableNameProvider.getEdgeLabelNodeLabelsMap(label);
+            for (final String fromLabel : fromToLabelsMap.keySet()) {
+                for (final String toLabel : fromToLabelsMap.get(fromLabel)) {
+                    batch.add(formatProperty(String.class, label, "'") + ", " +
+                              formatProperty(String.class, fromLabel, "'") + ", " +
+                              formatProperty(String.class, toLabel, "'") + ", " +
+                              formatProperty(String.class, tableNameProvider.getEdgeTableName(label, fromLabel,
+                                                                                                toLabel), "'") + ", " +
+                              tableNameProvider.getEdgeTableRowCount(label, fromLabel, toLabel));
+                    if (batch.size() == insertBatchSize) {
+                        writeSummaryInsertBatch(EDGE_SUMMARY_TABLE_NAME, keys, batch);
+                        batch.clear();
+                    }
                 }
             }
-            writer.newLine();
+        }
+        if (!batch.isEmpty())
+            writeSummaryInsertBatch(EDGE_SUMMARY_TABLE_NAME, keys, batch);
+        writer.newLine();
+    }
+
+    private void writeEdgeInsertBatch(final BufferedWriter out, final TableNameProvider tableNameProvider,
+                                      final String label, final String fromLabel, final String toLabel,
+                                      final int partition, final List<Edge> batch) throws IOException {
+        if (tableNameProvider.isEdgeTableConsolidated(label, fromLabel, toLabel)) {
+            final String labelValues = formatProperty(String.class, fromLabel, "'") + ", " + formatProperty(
+                    String.class, toLabel, "'");
+            writeEdgeInsertBatch(out, label, getFQDN(tableNameProvider.getConsolidatedEdgeTableName(label)),
+                                 escapeIdentifier("__from_label") + ", " + escapeIdentifier("__to_label"),
+                                 labelValues, batch);
+        } else {
+            final String tableName = tableNameProvider.getEdgeTableName(label, fromLabel, toLabel);
+            final TablePartitioning partitioning = tableNameProvider.getEdgeTablePartitioning(label, fromLabel,
+                                                                                              toLabel);
+            writeEdgeInsertBatch(out, label, getInsertTarget(tableNameProvider, tableName, partitioning, partition),
+                                 null, null, batch);
         }
     }
 
-    private void writeEdgeInsertBatch(final String label, final String tableLabel,
+    private void writeEdgeInsertBatch(final BufferedWriter out, final String label, final String insertTarget,
+                                      final String extraKeys, final String extraValues,
                                       final List<Edge> batch) throws IOException {
         final Map<String, Type> propertyKeyTypes = graph.getPropertyKeyTypesForEdgeLabel(label);
         final String[] keys = propertyKeyTypes.keySet().stream().filter(k -> !"__label".equals(k)).toArray(
                 String[]::new);
         final String keysString = Arrays.stream(keys).map(this::escapeIdentifier).collect(
                 Collectors.joining(", ", "", ""));
-        writeLine("INSERT INTO " + getFQDN(tableLabel) + " (" + keysString + ") VALUES");
+        final String extraKeysString = extraKeys == null ? "" : ", " + extraKeys;
+        final String extraValuesString = extraValues == null ? "" : ", " + extraValues;
+        writeLine(out, "INSERT INTO " + insertTarget + " (" + keysString + extraKeysString + ") VALUES");
         for (int i = 0; i < batch.size(); i++) {
             final Edge edge = batch.get(i);
             final String values = Arrays.stream(keys).map(
                     key -> formatProperty(key, propertyKeyTypes.get(key), edge.get(key))).collect(
                     Collectors.joining(", "));
-            writeLine("  (" + values + ")" + (i < batch.size() - 1 ? "," : ";"));
+            writeLine(out, "  (" + values + extraValuesString + ")" + (i < batch.size() - 1 ? "," : ";"));
         }
     }
 }
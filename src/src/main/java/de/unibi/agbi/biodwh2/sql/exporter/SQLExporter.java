@@ -109,6 +109,9 @@ public class SQLExporter {
             if (schemaName != null)
                 dump.setSchemaName(schemaName);
             dump.setTarget(target);
+            dump.setTemporaryPath(Paths.get(workspacePath, "sql"));
+            dump.setFullTextIndices(configuration.fullTextIndices);
+            dump.setSummaryTables(configuration.summaryTables);
             dump.write(tableNameProvider);
         } catch (Exception e) {
             if (LOGGER.isErrorEnabled())
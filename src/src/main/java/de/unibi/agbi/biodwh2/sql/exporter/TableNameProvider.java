@@ -2,6 +2,7 @@ package de.unibi.agbi.biodwh2.sql.exporter;
 
 import de.unibi.agbi.biodwh2.core.model.graph.Edge;
 import de.unibi.agbi.biodwh2.core.model.graph.Graph;
+import de.unibi.agbi.biodwh2.core.model.graph.Node;
 import de.unibi.agbi.biodwh2.sql.exporter.model.Configuration;
 import de.unibi.agbi.biodwh2.sql.exporter.model.Target;
 import org.apache.logging.log4j.LogManager;
@@ -14,35 +15,119 @@ import java.util.Set;
 
 public class TableNameProvider {
     private static final Logger LOGGER = LogManager.getLogger(TableNameProvider.class);
+    /**
+     * PostgreSQL combines the partition key hash with this constant before applying the modulus. With the identity hash
+     * operator class written by the dump, the partition of a value can therefore be computed upfront.
+     */
+    private static final long POSTGRESQL_HASH_OFFSET = 0x49a0f4dd15e5a8e3L;
 
     private final Target target;
     private final Configuration configuration;
     private final Map<String, Map<String, Set<String>>> edgeLabelNodeLabelsMap;
+    private final Map<String, TableStatistics> edgeTableStatistics;
+    private final Map<String, TablePartitioning> nodeTablePartitionings;
+    private final Map<String, TablePartitioning> edgeTablePartitionings;
+    private final Set<String> consolidatedEdgeTables;
 
     TableNameProvider(final Configuration configuration, final Target target, final Graph graph) {
         this.configuration = configuration;
         this.target = target;
         edgeLabelNodeLabelsMap = new HashMap<>();
-        for (final String label : graph.getNodeLabels())
+        edgeTableStatistics = new HashMap<>();
+        nodeTablePartitionings = new HashMap<>();
+        edgeTablePartitionings = new HashMap<>();
+        consolidatedEdgeTables = new HashSet<>();
+        final boolean partitioningEnabled = isPartitioningEnabled();
+        for (final String label : graph.getNodeLabels()) {
             validateAliasConfigured(label);
+            if (partitioningEnabled && graph.getNumberOfNodes(label) >= configuration.partitionRowThreshold)
+                addNodeTablePartitioning(graph, label);
+        }
+        final boolean sampleEdges = partitioningEnabled && target == Target.MSSQL;
         for (final String label : graph.getEdgeLabels()) {
             edgeLabelNodeLabelsMap.put(label, new HashMap<>());
             for (final Edge edge : graph.getEdges(label)) {
                 final String fromLabel = graph.getNode(edge.getFromId()).getLabel();
                 final String toLabel = graph.getNode(edge.getToId()).getLabel();
+                final String tableName = getEdgeTableNameRaw(label, fromLabel, toLabel);
                 final Set<String> toLabels = edgeLabelNodeLabelsMap.get(label).computeIfAbsent(fromLabel,
                                                                                                k -> new HashSet<>());
                 if (!toLabels.contains(toLabel)) {
                     toLabels.add(toLabel);
-                    validateAliasConfigured(getEdgeTableNameRaw(label, fromLabel, toLabel));
+                    validateAliasConfigured(tableName);
                 }
+                edgeTableStatistics.computeIfAbsent(tableName, k -> new TableStatistics(sampleEdges)).add(
+                        edge.getFromId());
             }
         }
+        if (configuration.edgeTableConsolidationThreshold > 0)
+            for (final String label : graph.getEdgeLabels())
+                for (final Map.Entry<String, Set<String>> entry : edgeLabelNodeLabelsMap.get(label).entrySet())
+                    for (final String toLabel : entry.getValue())
+                        consolidateEdgeTableIfNecessary(label, entry.getKey(), toLabel);
+        if (partitioningEnabled)
+            for (final Map.Entry<String, TableStatistics> entry : edgeTableStatistics.entrySet())
+                if (!consolidatedEdgeTables.contains(entry.getKey()) &&
+                    entry.getValue().getRowCount() >= configuration.partitionRowThreshold)
+                    addPartitioning(edgeTablePartitionings, entry.getKey(), "__from_id", entry.getValue());
+    }
+
+    private void consolidateEdgeTableIfNecessary(final String label, final String fromLabel, final String toLabel) {
+        final String tableName = getEdgeTableNameRaw(label, fromLabel, toLabel);
+        if (edgeTableStatistics.get(tableName).getRowCount() < configuration.edgeTableConsolidationThreshold) {
+            consolidatedEdgeTables.add(tableName);
+            validateAliasConfigured(getConsolidatedEdgeTableNameRaw(label));
+        }
+    }
+
+    private boolean isPartitioningEnabled() {
+        if (configuration.partitionRowThreshold <= 0 || configuration.partitionCount <= 1)
+            return false;
+        if (target == Target.Sqlite) {
+            LOGGER.warn("Table partitioning is not supported for target {} and will be ignored", target);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ids are assigned across the whole graph, so the ids of a label form separate bands. Hash partitioning spreads
+     * them evenly. MSSQL only supports range partitioning, for which the boundaries are estimated from a sample.
+     */
+    private void addNodeTablePartitioning(final Graph graph, final String label) {
+        final TableStatistics statistics = new TableStatistics(target == Target.MSSQL);
+        // Only the range boundaries for MSSQL require the node ids
+        if (target == Target.MSSQL)
+            for (final Node node : graph.getNodes(label))
+                statistics.add(node.getId());
+        addPartitioning(nodeTablePartitionings, label, "__id", statistics);
+    }
+
+    private void addPartitioning(final Map<String, TablePartitioning> partitionings, final String name,
+                                 final String column, final TableStatistics statistics) {
+        final TablePartitioning partitioning = target == Target.MSSQL ? createRangePartitioning(column, statistics) :
+                                               createHashPartitioning(column);
+        if (partitioning != null)
+            partitionings.put(name, partitioning);
+    }
+
+    private TablePartitioning createHashPartitioning(final String column) {
+        return new TablePartitioning(column, configuration.partitionCount,
+                                     target == Target.Postgresql ? POSTGRESQL_HASH_OFFSET : 0);
+    }
+
+    private TablePartitioning createRangePartitioning(final String column, final TableStatistics statistics) {
+        final long[] boundaries = statistics.getQuantiles(configuration.partitionCount);
+        return boundaries.length == 0 ? null : new TablePartitioning(column, boundaries);
     }
 
     private void validateAliasConfigured(final String name) {
         if (target != Target.Sqlite)
-            validateAliasConfigured(name, target == Target.MSSQL ? 128 : 63);
+            validateAliasConfigured(name, getIdentifierLimit());
+    }
+
+    private int getIdentifierLimit() {
+        return target == Target.MSSQL ? 128 : 63;
     }
 
     private void validateAliasConfigured(final String name, final int limit) {
@@ -71,12 +156,67 @@ public class TableNameProvider {
         return aliasNameIfNecessary(getEdgeTableNameRaw(label, fromLabel, toLabel));
     }
 
+    /**
+     * Consolidated edge tables are stored in the shared table of the edge label and provided as views.
+     */
+    public boolean isEdgeTableConsolidated(final String label, final String fromLabel, final String toLabel) {
+        return consolidatedEdgeTables.contains(getEdgeTableNameRaw(label, fromLabel, toLabel));
+    }
+
+    public String getConsolidatedEdgeTableName(final String label) {
+        return aliasNameIfNecessary(getConsolidatedEdgeTableNameRaw(label));
+    }
+
+    private String getConsolidatedEdgeTableNameRaw(final String label) {
+        return label + "__edges";
+    }
+
+    /**
+     * @return whether any node or edge table is partitioned
+     */
+    public boolean hasPartitionings() {
+        return !nodeTablePartitionings.isEmpty() || !edgeTablePartitionings.isEmpty();
+    }
+
+    public long getEdgeTableRowCount(final String label, final String fromLabel, final String toLabel) {
+        final TableStatistics statistics = edgeTableStatistics.get(getEdgeTableNameRaw(label, fromLabel, toLabel));
+        return statistics == null ? 0 : statistics.getRowCount();
+    }
+
+    /**
+     * @return the partitioning of the node table or null if the table is not partitioned
+     */
+    public TablePartitioning getNodeTablePartitioning(final String label) {
+        return nodeTablePartitionings.get(label);
+    }
+
+    /**
+     * @return the partitioning of the edge table or null if the table is not partitioned
+     */
+    public TablePartitioning getEdgeTablePartitioning(final String label, final String fromLabel,
+                                                      final String toLabel) {
+        return edgeTablePartitionings.get(getEdgeTableNameRaw(label, fromLabel, toLabel));
+    }
+
     private String getEdgeTableNameRaw(final String label, final String fromLabel, final String toLabel) {
         return fromLabel + "__" + label + "__" + toLabel;
     }
 
     private String aliasNameIfNecessary(final String name) {
-        return target == Target.Sqlite ? name : aliasNameIfNecessary(name, target == Target.MSSQL ? 128 : 63);
+        return target == Target.Sqlite ? name : aliasNameIfNecessary(name, getIdentifierLimit());
+    }
+
+    /**
+     * Derives the name of an object belonging to a table, such as a partition. If the derived name exceeds the
+     * identifier limit of the target, the table name is shortened and suffixed with a hash to keep names distinct.
+     */
+    public String getDerivedName(final String tableName, final String suffix) {
+        final String name = tableName + suffix;
+        if (target == Target.Sqlite || name.length() <= getIdentifierLimit())
+            return name;
+        final String hash = HashUtils.getShortHash(tableName);
+        return tableName.substring(0, getIdentifierLimit() - suffix.length() - hash.length() - 1) + '_' + hash +
+               suffix;
     }
 
     private String aliasNameIfNecessary(final String name, final int limit) {
@@ -0,0 +1,57 @@
+package de.unibi.agbi.biodwh2.sql.exporter;
+
+import java.util.Arrays;
+
+/**
+ * Partitioning of a table column, either by hash into a fixed number of partitions or by range between boundaries.
+ */
+final class TablePartitioning {
+    private final String column;
+    private final int count;
+    private final long hashOffset;
+    private final long[] boundaries;
+
+    /**
+     * Hash partitioning assigning each value to partition (value + hashOffset) mod count, compared unsigned.
+     */
+    TablePartitioning(final String column, final int count, final long hashOffset) {
+        this.column = column;
+        this.count = count;
+        this.hashOffset = hashOffset;
+        boundaries = null;
+    }
+
+    /**
+     * Range partitioning with strictly increasing boundaries, each being the inclusive lower bound of the next
+     * partition. The first partition is open towards the minimum.
+     */
+    TablePartitioning(final String column, final long[] boundaries) {
+        this.column = column;
+        this.boundaries = boundaries;
+        count = boundaries.length + 1;
+        hashOffset = 0;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isRange() {
+        return boundaries != null;
+    }
+
+    public long[] getBoundaries() {
+        return boundaries;
+    }
+
+    public int getPartition(final long value) {
+        if (boundaries == null)
+            return (int) Long.remainderUnsigned(value + hashOffset, count);
+        final int index = Arrays.binarySearch(boundaries, value);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+}
@@ -0,0 +1,54 @@
+package de.unibi.agbi.biodwh2.sql.exporter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Row count of a table with an optional reservoir sample of a column to estimate quantiles.
+ */
+final class TableStatistics {
+    private static final int SAMPLE_SIZE = 4096;
+
+    private final long[] sample;
+    private final Random random;
+    private long rowCount;
+
+    TableStatistics(final boolean sampled) {
+        sample = sampled ? new long[SAMPLE_SIZE] : null;
+        // Fixed seed so repeated exports of the same graph produce identical boundaries
+        random = sampled ? new Random(0) : null;
+    }
+
+    public void add(final long value) {
+        if (sample != null) {
+            if (rowCount < sample.length)
+                sample[(int) rowCount] = value;
+            else {
+                final long index = (long) (random.nextDouble() * (rowCount + 1));
+                if (index < sample.length)
+                    sample[(int) index] = value;
+            }
+        }
+        rowCount++;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return strictly increasing estimated boundaries splitting the sampled values into up to count partitions
+     */
+    public long[] getQuantiles(final int count) {
+        final long[] sorted = Arrays.copyOf(sample, (int) Math.min(rowCount, sample.length));
+        Arrays.sort(sorted);
+        final long[] quantiles = new long[count - 1];
+        int size = 0;
+        for (int i = 1; i < count; i++) {
+            final long value = sorted[(int) ((long) i * sorted.length / count)];
+            if (size == 0 || value > quantiles[size - 1])
+                quantiles[size++] = value;
+        }
+        return Arrays.copyOf(quantiles, size);
+    }
+}
@@ -4,14 +4,42 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Configuration {
     @JsonProperty("tableNameAlias")
     public final Map<String, String> tableNameAlias;
+    /**
+     * Minimum number of rows a node or edge table needs to be partitioned. Partitioning is disabled if zero.
+     */
+    @JsonProperty("partitionRowThreshold")
+    public long partitionRowThreshold;
+    @JsonProperty("partitionCount")
+    public int partitionCount;
+    /**
+     * Edge tables with fewer rows are merged into one table per edge label. Consolidation is disabled if zero.
+     */
+    @JsonProperty("edgeTableConsolidationThreshold")
+    public long edgeTableConsolidationThreshold;
+    /**
+     * String properties per node label which should receive a full-text index.
+     */
+    @JsonProperty("fullTextIndices")
+    public final Map<String, List<String>> fullTextIndices;
+    /**
+     * Whether the node degree and edge summary tables are exported.
+     */
+    @JsonProperty("summaryTables")
+    public boolean summaryTables;
 
     public Configuration() {
         tableNameAlias = new HashMap<>();
+        partitionRowThreshold = 0;
+        partitionCount = 8;
+        edgeTableConsolidationThreshold = 0;
+        fullTextIndices = new HashMap<>();
+        summaryTables = false;
     }
 }
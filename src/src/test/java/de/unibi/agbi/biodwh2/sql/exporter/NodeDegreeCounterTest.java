@@ -0,0 +1,33 @@
+package de.unibi.agbi.biodwh2.sql.exporter;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NodeDegreeCounterTest {
+    @Test
+    void countsDegreesBeyondInitialCapacity() throws IOException {
+        final int nodeCount = NodeDegreeCounter.INITIAL_CAPACITY * 4;
+        final NodeDegreeCounter counter = new NodeDegreeCounter();
+        for (int i = 0; i < nodeCount; i++) {
+            counter.addOutgoing(i * 7L, i % 3);
+            counter.addIncoming(i * 7L, i % 3);
+            counter.addIncoming(i * 7L, i % 3);
+        }
+        assertEquals(nodeCount, counter.size());
+        final List<Long> visitedNodeIds = new ArrayList<>();
+        counter.forEach((nodeId, labelIndex, inDegree, outDegree) -> {
+            assertEquals(nodeId / 7 % 3, labelIndex);
+            assertEquals(2, inDegree);
+            assertEquals(1, outDegree);
+            visitedNodeIds.add(nodeId);
+        });
+        assertEquals(nodeCount, visitedNodeIds.size());
+        for (int i = 0; i < nodeCount; i++)
+            assertEquals(i * 7L, visitedNodeIds.get(i));
+    }
+}